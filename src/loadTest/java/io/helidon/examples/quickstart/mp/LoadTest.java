@@ -0,0 +1,237 @@
+package io.helidon.examples.quickstart.mp;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.HdrHistogram.Histogram;
+
+
+/**
+ * End-to-end load test of the array service.
+ * Starts the server locally as a separate process, replays mixed workload of concurrent clients
+ * and reports latency percentiles, throughput and heap and GC metrics of the server.
+ * Stable results (throughput, p50 and p99 latencies and heap retained after full GC) are compared
+ * with stored baseline and the run fails if any of them regressed more than its tolerance.
+ * p999 latencies, peak heap and GC numbers are only reported, they vary too much between runs.
+ */
+public class LoadTest {
+    private static final String THROUGHPUT_KEY = "throughput.rps";
+    private static final String RETAINED_HEAP_KEY = "heap.retained.mb";
+    //checked results and their tolerances, results not listed here are only reported
+    private static final Map<String, Tolerance> TOLERANCES = new TreeMap<>();
+
+    static {
+        TOLERANCES.put(THROUGHPUT_KEY, new Tolerance(0.2, 5.0));
+        for (String operation : new String[] {"post", "get", "progress"}) {
+            TOLERANCES.put(operation + ".p50.ms", new Tolerance(0.25, 2.0));
+            TOLERANCES.put(operation + ".p99.ms", new Tolerance(0.5, 10.0));
+        }
+        TOLERANCES.put(RETAINED_HEAP_KEY, new Tolerance(0.2, 16.0));
+    }
+
+    /**
+     * Run the load test, see {@link LoadTestConfig} for configuration.
+     *
+     * @param   args    not used
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        System.out.println("Load test: " + config);
+
+        LoadTestServer server = new LoadTestServer(config);
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(config.getClients());
+        Map<String, Double> results;
+        long errors;
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(clientExecutor)
+                    .build();
+            List<LoadTestWorkload> workloads = new ArrayList<>();
+            for (int i = 0; i < config.getClients(); i++) {
+                workloads.add(new LoadTestWorkload(client, server.getBaseUri(), config, i));
+            }
+
+            runWorkloads(workloads, config.getWarmupIterations(), false);
+
+            server.resetPeakHeapUsage();
+            long gcCount = server.getGcCount();
+            long gcTime = server.getGcTimeInMillis();
+            long start = System.nanoTime();
+            runWorkloads(workloads, config.getIterations(), true);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            Histogram postLatency = new Histogram(3);
+            Histogram getLatency = new Histogram(3);
+            Histogram progressLatency = new Histogram(3);
+            errors = 0;
+            for (LoadTestWorkload workload : workloads) {
+                postLatency.add(workload.getPostLatency());
+                getLatency.add(workload.getGetLatency());
+                progressLatency.add(workload.getProgressLatency());
+                errors += workload.getErrors();
+            }
+
+            results = new TreeMap<>();
+            addLatencies(results, "post", postLatency);
+            addLatencies(results, "get", getLatency);
+            addLatencies(results, "progress", progressLatency);
+            long requests = postLatency.getTotalCount() + getLatency.getTotalCount()
+                    + progressLatency.getTotalCount();
+            results.put(THROUGHPUT_KEY, requests / elapsedSeconds);
+            results.put("heap.peak.mb", server.getPeakHeapUsage() / (1024.0 * 1024.0));
+            results.put("gc.count", (double) (server.getGcCount() - gcCount));
+            results.put("gc.time.ms", (double) (server.getGcTimeInMillis() - gcTime));
+            results.put(RETAINED_HEAP_KEY, server.getRetainedHeapUsage() / (1024.0 * 1024.0));
+        } finally {
+            clientExecutor.shutdownNow();
+            server.stop();
+        }
+
+        results.forEach((key, value) -> System.out.println(String.format("%-20s %12.3f", key, value)));
+        System.out.println(String.format("%-20s %12d", "errors", errors));
+
+        if (errors > 0) {
+            fail(errors + " requests failed.");
+        }
+        if (config.isUpdateBaseline()) {
+            storeBaseline(config.getBaseline(), results);
+            System.out.println("Baseline written to " + config.getBaseline());
+            return;
+        }
+        checkBaseline(config.getBaseline(), results);
+    }
+
+    /**
+     * Run given number of iterations of every workload in its own thread and wait for all of them.
+     *
+     * @param   workloads   workloads of all clients
+     * @param   iterations  number of iterations per client
+     * @param   recording   whether latencies are recorded
+     */
+    private static void runWorkloads(List<LoadTestWorkload> workloads, int iterations, boolean recording)
+            throws InterruptedException, ExecutionException {
+        ExecutorService clients = Executors.newFixedThreadPool(workloads.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (LoadTestWorkload workload : workloads) {
+                futures.add(clients.submit(() -> {
+                    workload.run(iterations, recording);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * Add p50, p99 and p999 latency in milliseconds and request count of an operation.
+     *
+     * @param   results     result values
+     * @param   operation   name of the operation
+     * @param   histogram   latencies in microseconds
+     */
+    private static void addLatencies(Map<String, Double> results, String operation, Histogram histogram) {
+        results.put(operation + ".count", (double) histogram.getTotalCount());
+        results.put(operation + ".p50.ms", histogram.getValueAtPercentile(50.0) / 1000.0);
+        results.put(operation + ".p99.ms", histogram.getValueAtPercentile(99.0) / 1000.0);
+        results.put(operation + ".p999.ms", histogram.getValueAtPercentile(99.9) / 1000.0);
+    }
+
+    /**
+     * Compare checked results with baseline and fail if any of them regressed more than its tolerance.
+     * Throughput must not drop, latencies and retained heap must not grow.
+     * Missing baseline file or missing value fails the run, so that the check never passes silently.
+     *
+     * @param   baselineFile    path to baseline properties
+     * @param   results         result values
+     */
+    private static void checkBaseline(String baselineFile, Map<String, Double> results) throws IOException {
+        if (!Files.exists(Paths.get(baselineFile))) {
+            fail("Baseline " + baselineFile + " does not exist, record it with: gradle loadTest -PupdateBaseline");
+        }
+        Properties baseline = new Properties();
+        try (InputStream in = new FileInputStream(baselineFile)) {
+            baseline.load(in);
+        }
+        List<String> regressions = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, Tolerance> checked : TOLERANCES.entrySet()) {
+            String key = checked.getKey();
+            String baselineValue = baseline.getProperty(key);
+            if (baselineValue == null) {
+                missing.add(key);
+                continue;
+            }
+            double expected = Double.parseDouble(baselineValue);
+            double actual = results.get(key);
+            double allowedDifference = expected * checked.getValue().relative + checked.getValue().absolute;
+            boolean regressed = THROUGHPUT_KEY.equals(key)
+                    ? actual < expected - allowedDifference
+                    : actual > expected + allowedDifference;
+            if (regressed) {
+                regressions.add(key + ": " + actual + " (baseline " + expected + ", allowed difference "
+                        + allowedDifference + ")");
+            }
+        }
+        if (!missing.isEmpty()) {
+            fail("Baseline " + baselineFile + " has no value for " + String.join(", ", missing)
+                    + ", record it with: gradle loadTest -PupdateBaseline");
+        }
+        if (!regressions.isEmpty()) {
+            fail("Regressed past baseline:\n  " + String.join("\n  ", regressions));
+        }
+        System.out.println("No regression against baseline " + baselineFile);
+    }
+
+    /**
+     * Write results to baseline properties.
+     *
+     * @param   baselineFile    path to baseline properties
+     * @param   results         result values
+     */
+    private static void storeBaseline(String baselineFile, Map<String, Double> results) throws IOException {
+        Properties baseline = new Properties();
+        results.forEach((key, value) -> baseline.setProperty(key, String.format("%.3f", value)));
+        try (OutputStream out = new FileOutputStream(baselineFile)) {
+            baseline.store(out, "Load test baseline, regenerate with: gradle loadTest -PupdateBaseline");
+        }
+    }
+
+    private static void fail(String message) {
+        System.out.println("Load test failed. " + message);
+        System.exit(1);
+    }
+
+    /**
+     * Allowed regression of a checked result, relative to its baseline value plus absolute margin,
+     * so that small or zero baseline values do not fail on noise.
+     */
+    private static final class Tolerance {
+        private final double relative;
+        private final double absolute;
+
+        private Tolerance(double relative, double absolute) {
+            this.relative = relative;
+            this.absolute = absolute;
+        }
+    }
+}
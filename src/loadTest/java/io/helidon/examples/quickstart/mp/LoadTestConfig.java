@@ -0,0 +1,141 @@
+package io.helidon.examples.quickstart.mp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Load test configuration read from system properties.
+ *
+ * <ul>
+ *     <li>loadtest.clients - number of concurrent clients</li>
+ *     <li>loadtest.iterations - iterations per client recorded in results</li>
+ *     <li>loadtest.warmupIterations - iterations per client before recording starts</li>
+ *     <li>loadtest.arraySizes - array size distribution as size:weight pairs, e.g. 3:40,5:40,7:20</li>
+ *     <li>loadtest.duplicateRatio - share of posts repeating an already posted array</li>
+ *     <li>loadtest.asyncRatio - share of iterations polling progress before getting permutations</li>
+ *     <li>loadtest.seed - seed of client random generators, every client posts the same arrays in every run</li>
+ *     <li>loadtest.serverJar - built jar of the service, started as a separate process</li>
+ *     <li>loadtest.serverJvmArgs - JVM arguments of the server process</li>
+ *     <li>loadtest.serverLog - file the server output is written to</li>
+ *     <li>loadtest.baseline - properties file with baseline results</li>
+ *     <li>loadtest.updateBaseline - write results of the run to baseline file instead of checking it</li>
+ * </ul>
+ */
+public class LoadTestConfig {
+    private final int clients;
+    private final int iterations;
+    private final int warmupIterations;
+    private final List<Integer> arraySizes = new ArrayList<>();
+    private final List<Integer> arraySizeWeights = new ArrayList<>();
+    private final int totalArraySizeWeight;
+    private final double duplicateRatio;
+    private final double asyncRatio;
+    private final long seed;
+    private final String serverJar;
+    private final String serverJvmArgs;
+    private final String serverLog;
+    private final String baseline;
+    private final boolean updateBaseline;
+
+    /**
+     * Create configuration from system properties.
+     */
+    public LoadTestConfig() {
+        this.clients = Integer.getInteger("loadtest.clients", 16);
+        this.iterations = Integer.getInteger("loadtest.iterations", 200);
+        this.warmupIterations = Integer.getInteger("loadtest.warmupIterations", 20);
+        this.duplicateRatio = Double.parseDouble(System.getProperty("loadtest.duplicateRatio", "0.3"));
+        this.asyncRatio = Double.parseDouble(System.getProperty("loadtest.asyncRatio", "0.5"));
+        this.seed = Long.getLong("loadtest.seed", 42L);
+        this.serverJar = System.getProperty("loadtest.serverJar", "build/libs/helidon-quickstart-mp.jar");
+        this.serverJvmArgs = System.getProperty("loadtest.serverJvmArgs", "-Xmx512m");
+        this.serverLog = System.getProperty("loadtest.serverLog", "build/loadtest-server.log");
+        this.baseline = System.getProperty("loadtest.baseline", "src/loadTest/resources/baseline.properties");
+        this.updateBaseline = Boolean.getBoolean("loadtest.updateBaseline");
+
+        int weights = 0;
+        for (String sizeAndWeight : System.getProperty("loadtest.arraySizes", "3:40,5:40,7:20").split(",")) {
+            String[] pair = sizeAndWeight.trim().split(":");
+            int size = Integer.parseInt(pair[0]);
+            if (size > ArrayPermutationProvider.MAXIMUM_ALLOWED_ARRAY_SIZE) {
+                throw new IllegalArgumentException("Array size " + size + " is larger than maximum allowed size "
+                        + ArrayPermutationProvider.MAXIMUM_ALLOWED_ARRAY_SIZE + ".");
+            }
+            int weight = pair.length > 1 ? Integer.parseInt(pair[1]) : 1;
+            arraySizes.add(size);
+            arraySizeWeights.add(weight);
+            weights += weight;
+        }
+        this.totalArraySizeWeight = weights;
+    }
+
+    /**
+     * Draw array size from configured distribution.
+     *
+     * @param   random  random generator of the client
+     * @return          array size
+     */
+    public int nextArraySize(Random random) {
+        int r = random.nextInt(totalArraySizeWeight);
+        for (int i = 0; i < arraySizes.size(); i++) {
+            r -= arraySizeWeights.get(i);
+            if (r < 0) {
+                return arraySizes.get(i);
+            }
+        }
+        return arraySizes.get(arraySizes.size() - 1);
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    public double getDuplicateRatio() {
+        return duplicateRatio;
+    }
+
+    public double getAsyncRatio() {
+        return asyncRatio;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getServerJar() {
+        return serverJar;
+    }
+
+    public String getServerJvmArgs() {
+        return serverJvmArgs;
+    }
+
+    public String getServerLog() {
+        return serverLog;
+    }
+
+    public String getBaseline() {
+        return baseline;
+    }
+
+    public boolean isUpdateBaseline() {
+        return updateBaseline;
+    }
+
+    @Override
+    public String toString() {
+        return "clients=" + clients + ", iterations=" + iterations + ", warmupIterations=" + warmupIterations
+                + ", arraySizes=" + System.getProperty("loadtest.arraySizes", "3:40,5:40,7:20")
+                + ", duplicateRatio=" + duplicateRatio + ", asyncRatio=" + asyncRatio + ", seed=" + seed;
+    }
+}
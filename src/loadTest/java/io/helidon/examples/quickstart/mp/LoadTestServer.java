@@ -0,0 +1,221 @@
+package io.helidon.examples.quickstart.mp;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.json.Json;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+
+
+/**
+ * Array service started as a separate process from the built jar for the load test.
+ * Heap and GC metrics are read from the base metrics of that process, so they do not
+ * include allocations of the load test clients.
+ */
+public class LoadTestServer {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(1);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final int HEAP_SAMPLING_INTERVAL_MILLIS = 250;
+
+    private final Process process;
+    private final URI baseUri;
+    private final HttpClient client;
+    private final ScheduledExecutorService heapSampler;
+    //highest used heap seen since last reset, in bytes
+    private final AtomicLong peakHeapUsage = new AtomicLong();
+
+    /**
+     * Start the server on a free port and wait until it answers health checks.
+     *
+     * @param   config  load test configuration
+     */
+    public LoadTestServer(LoadTestConfig config) throws IOException, InterruptedException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (!config.getServerJvmArgs().isBlank()) {
+            command.addAll(Arrays.asList(config.getServerJvmArgs().trim().split("\\s+")));
+        }
+        command.add("-Dserver.port=" + port);
+        command.add("-jar");
+        command.add(config.getServerJar());
+
+        this.process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(config.getServerLog()))
+                .start();
+        this.baseUri = URI.create("http://localhost:" + port);
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        this.heapSampler = Executors.newSingleThreadScheduledExecutor();
+
+        try {
+            waitUntilStarted();
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            stop();
+            throw e;
+        }
+        heapSampler.scheduleAtFixedRate(this::sampleHeapUsage, 0, HEAP_SAMPLING_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    /**
+     * Start tracking peak heap usage from now on.
+     */
+    public void resetPeakHeapUsage() {
+        peakHeapUsage.set(0);
+        sampleHeapUsage();
+    }
+
+    /**
+     * Get highest used heap of the server sampled since last reset.
+     *
+     * @return   peak heap usage in bytes
+     */
+    public long getPeakHeapUsage() {
+        sampleHeapUsage();
+        return peakHeapUsage.get();
+    }
+
+    /**
+     * Run full garbage collection in the server through jcmd and return heap used after it,
+     * that is memory retained by the server, mostly its caches.
+     *
+     * @return   used heap after full garbage collection in bytes
+     */
+    public long getRetainedHeapUsage() throws IOException, InterruptedException {
+        String jcmd = Paths.get(System.getProperty("java.home"), "bin", "jcmd").toString();
+        Process gc = new ProcessBuilder(jcmd, String.valueOf(process.pid()), "GC.run")
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        if (!gc.waitFor(30, TimeUnit.SECONDS) || gc.exitValue() != 0) {
+            throw new IllegalStateException("Full garbage collection of the server through jcmd failed.");
+        }
+        JsonValue usedHeap = getBaseMetrics().get("memory.usedHeap");
+        if (!(usedHeap instanceof JsonNumber)) {
+            throw new IllegalStateException("Server metrics do not contain memory.usedHeap.");
+        }
+        return ((JsonNumber) usedHeap).longValue();
+    }
+
+    /**
+     * Get total number of garbage collections of the server.
+     *
+     * @return   number of collections of all collectors
+     */
+    public long getGcCount() throws IOException, InterruptedException {
+        return sumBaseMetrics("gc.total");
+    }
+
+    /**
+     * Get total time spent in garbage collection by the server.
+     *
+     * @return   time in milliseconds of all collectors
+     */
+    public long getGcTimeInMillis() throws IOException, InterruptedException {
+        return sumBaseMetrics("gc.time");
+    }
+
+    /**
+     * Stop the server process and heap sampling.
+     */
+    public void stop() throws InterruptedException {
+        heapSampler.shutdownNow();
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+
+    private void waitUntilStarted() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/health"))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Server exited with code " + process.exitValue() + ".");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                //not listening yet
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Server did not start in " + STARTUP_TIMEOUT.toSeconds() + " seconds.");
+    }
+
+    private void sampleHeapUsage() {
+        try {
+            JsonValue usedHeap = getBaseMetrics().get("memory.usedHeap");
+            if (usedHeap instanceof JsonNumber) {
+                peakHeapUsage.accumulateAndGet(((JsonNumber) usedHeap).longValue(), Math::max);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println(e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sum values of all base metrics with given name, e.g. gc.total of every collector.
+     *
+     * @param   name    metric name without tags
+     * @return          sum of metric values
+     */
+    private long sumBaseMetrics(String name) throws IOException, InterruptedException {
+        long sum = 0;
+        for (Map.Entry<String, JsonValue> metric : getBaseMetrics().entrySet()) {
+            if ((metric.getKey().equals(name) || metric.getKey().startsWith(name + ";"))
+                    && metric.getValue() instanceof JsonNumber) {
+                sum += ((JsonNumber) metric.getValue()).longValue();
+            }
+        }
+        return sum;
+    }
+
+    private JsonObject getBaseMetrics() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/metrics/base"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        try (JsonReader reader = Json.createReader(new StringReader(body))) {
+            return reader.readObject();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package io.helidon.examples.quickstart.mp;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.HdrHistogram.Histogram;
+
+
+/**
+ * Mixed POST / GET / GET?async=true workload replayed by a single load test client.
+ * Every iteration posts an array, optionally polls its progress until done and then
+ * reads all permutations synchronously.
+ */
+public class LoadTestWorkload {
+    //maximum time the service may take to answer one request
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(1);
+    private static final int POLLING_INTERVAL_MILLIS = 10;
+
+    //every client draws array values from its own range, so arrays of different clients never match
+    private static final long ARRAY_VALUE_RANGE_PER_CLIENT = 1000000000L;
+
+    private final HttpClient client;
+    private final URI arrayUri;
+    private final LoadTestConfig config;
+    private final Random random;
+    //arrays already posted by this client, used to produce duplicate posts
+    private final List<String> postedArrays = new ArrayList<>();
+    //first value of the next unique array of this client
+    private long nextArrayValue;
+
+    //latencies in microseconds
+    private final Histogram postLatency = new Histogram(3);
+    private final Histogram getLatency = new Histogram(3);
+    private final Histogram progressLatency = new Histogram(3);
+    private long errors;
+
+    /**
+     * Create a new workload of one client.
+     *
+     * @param   client      http client shared by all workloads
+     * @param   baseUri     uri of running server
+     * @param   config      load test configuration
+     * @param   clientIndex index of this client, selects its seed and array values
+     */
+    public LoadTestWorkload(HttpClient client, URI baseUri, LoadTestConfig config, int clientIndex) {
+        this.client = client;
+        this.arrayUri = baseUri.resolve("/array");
+        this.config = config;
+        this.random = new Random(config.getSeed() + clientIndex);
+        this.nextArrayValue = clientIndex * ARRAY_VALUE_RANGE_PER_CLIENT;
+    }
+
+    /**
+     * Run given number of iterations of the workload.
+     * Latencies and errors are not recorded if recording is false, which is used for warm up.
+     *
+     * @param   iterations  number of iterations
+     * @param   recording   whether latencies are recorded
+     */
+    public void run(int iterations, boolean recording) throws InterruptedException {
+        for (int i = 0; i < iterations; i++) {
+            try {
+                runIteration(recording);
+            } catch (IOException | IllegalStateException e) {
+                if (recording) {
+                    errors++;
+                }
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Post an array, poll progress if async iteration and get all permutations.
+     *
+     * @param   recording   whether latencies are recorded
+     */
+    private void runIteration(boolean recording) throws IOException, InterruptedException {
+        String id = postArray(nextArray(), recording);
+        if (random.nextDouble() < config.getAsyncRatio()) {
+            while (!getProgress(id, recording).contains("100%")) {
+                Thread.sleep(POLLING_INTERVAL_MILLIS);
+            }
+        }
+        getPermutations(id, recording);
+    }
+
+    /**
+     * Return array to be posted, either one previously posted by this client or a new unique array
+     * of size drawn from configured distribution. Sequence of arrays depends only on the client seed.
+     *
+     * @return  json array
+     */
+    private String nextArray() {
+        if (random.nextDouble() < config.getDuplicateRatio() && !postedArrays.isEmpty()) {
+            return postedArrays.get(random.nextInt(postedArrays.size()));
+        }
+        int size = config.nextArraySize(random);
+        long firstValue = nextArrayValue;
+        nextArrayValue += size;
+        StringBuilder array = new StringBuilder("[");
+        for (int j = 0; j < size; j++) {
+            if (j > 0) {
+                array.append(", ");
+            }
+            array.append(firstValue + j);
+        }
+        String newArray = array.append("]").toString();
+        postedArrays.add(newArray);
+        return newArray;
+    }
+
+    private String postArray(String array, boolean recording) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(arrayUri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"array\" : " + array + "}"))
+                .build();
+        HttpResponse<String> response = send(request, 202, recording ? postLatency : null);
+        return response.headers()
+                .firstValue("id")
+                .orElseThrow(() -> new IllegalStateException("Id of array not returned."));
+    }
+
+    private String getProgress(String id, boolean recording) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(arrayUri + "/" + id + "?async=true"))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        return send(request, 200, recording ? progressLatency : null).body();
+    }
+
+    private void getPermutations(String id, boolean recording) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(arrayUri + "/" + id))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        send(request, 200, recording ? getLatency : null);
+    }
+
+    /**
+     * Send request, record its latency in microseconds and check response status.
+     *
+     * @param   request         http request
+     * @param   expectedStatus  expected http status
+     * @param   histogram       histogram to record latency to, null if not recording
+     * @return                  http response
+     */
+    private HttpResponse<String> send(HttpRequest request, int expectedStatus, Histogram histogram)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (histogram != null) {
+            histogram.recordValue((System.nanoTime() - start) / 1000);
+        }
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(request.method() + " " + request.uri()
+                    + " returned status " + response.statusCode());
+        }
+        return response;
+    }
+
+    public Histogram getPostLatency() {
+        return postLatency;
+    }
+
+    public Histogram getGetLatency() {
+        return getLatency;
+    }
+
+    public Histogram getProgressLatency() {
+        return progressLatency;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+}
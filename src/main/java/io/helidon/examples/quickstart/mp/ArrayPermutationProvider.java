@@ -8,6 +8,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -25,6 +26,8 @@ public class ArrayPermutationProvider {
     private static final int THREAD_POOL_SIZE = 1;
     //constant given by maximum value factorial can be computed using long
     public static final int MAXIMUM_ALLOWED_ARRAY_SIZE = 20;
+    //maximum number of random permutations returned by one sample request
+    public static final int MAXIMUM_ALLOWED_SAMPLE_COUNT = 10000;
 
 
     //storage of arrays passed in by setArray
@@ -61,7 +64,6 @@ public class ArrayPermutationProvider {
      *  Calculate size of array of all permutations of input array and store in targetResultSizeCache.
      *  Put -1 value to progressCache meaning calculation did not yet start,
      *  because calculation can be in progress even if progress is 0.
-     *  Add empty array to permutationsCache, where result will be stored.
      *  Add arrayKey to ids array.
      *  Return new array key.
      * If array already exists in arraysCache, return its array key.
@@ -98,6 +100,7 @@ public class ArrayPermutationProvider {
     /**
      * Returns progress of permutation operation of an array in percents.
      * Array is identified by unique arrayKey.
+     * If calculation did not start yet, it is started in background.
      *
      * @param   arrayKey    unique key identifying array
      * @return              String value of progress of permutation operation in percents
@@ -106,7 +109,8 @@ public class ArrayPermutationProvider {
         if (!arrayKeyExists(arrayKey)) {
             throw new InvalidParameterException("Parameter '" + arrayKey + "' not registered.");
         }
-        if (permutationDidNotStart(arrayKey)) {
+        if (startPermutationIfNotStarted(arrayKey)) {
+            permutationCalculatingExecutor.submit(() -> getAllPermutationsOfAnArray(arrayKey));
             return "0%";
         }
         return progressCache.get(arrayKey).toString() + "%";
@@ -129,8 +133,7 @@ public class ArrayPermutationProvider {
         }
         if (permutationIsDone(arrayKey)) {
             return permutationsCache.get(arrayKey);
-        } else if (permutationDidNotStart(arrayKey)) {
-            progressCache.put(arrayKey, 0L);
+        } else if (startPermutationIfNotStarted(arrayKey)) {
             return getAllPermutationsOfAnArray(arrayKey);
         } else {
             while (!permutationIsDone(arrayKey)) {
@@ -140,8 +143,56 @@ public class ArrayPermutationProvider {
         }
     }
 
+    /**
+     * Returns list of count uniformly random permutations of original array.
+     * Array is identified by unique arrayKey.
+     * Every permutation is drawn as uniform random rank in [0, n!) and unranked through its
+     * factorial number system digits (Lehmer code), which covers all n! permutations up to
+     * MAXIMUM_ALLOWED_ARRAY_SIZE, because 20! fits in long.
+     * The same seed always gives the same result and cost does not depend on n!.
+     * Calculation of all permutations is not started and nothing is stored in permutationsCache.
+     *
+     * @param   arrayKey    unique key identifying array
+     * @param   count       number of permutations to draw
+     * @param   seed        seed of random generator
+     * @return              List of random permutations
+     */
+    public List<List<Object>> getRandomPermutationsOfArray(String arrayKey, int count, long seed) {
+        List array = arraysCache.get(arrayKey);
+        if (array == null) {
+            throw new InvalidParameterException("Parameter '" + arrayKey + "' not registered.");
+        }
+        Object[] sourceArrayObjects = array.toArray();
+        int sizeOfSourceArray = sourceArrayObjects.length;
+        long[] factorials = new long[sizeOfSourceArray + 1];
+        factorials[0] = 1;
+        for (int j = 1; j <= sizeOfSourceArray; j++) {
+            factorials[j] = factorials[j - 1] * j;
+        }
+        int[] remainingIndexes = new int[sizeOfSourceArray];
+        SplittableRandom random = new SplittableRandom(seed);
+        List<List<Object>> samples = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            long rank = random.nextLong(factorials[sizeOfSourceArray]);
+            for (int j = 0; j < sizeOfSourceArray; j++) {
+                remainingIndexes[j] = j;
+            }
+            List<Object> list = new ArrayList<>(sizeOfSourceArray);
+            for (int j = sizeOfSourceArray - 1; j >= 0; j--) {
+                int digit = (int) (rank / factorials[j]);
+                rank %= factorials[j];
+                list.add(sourceArrayObjects[remainingIndexes[digit]]);
+                System.arraycopy(remainingIndexes, digit + 1, remainingIndexes, digit, j - digit);
+            }
+            samples.add(list);
+        }
+        return samples;
+    }
+
     /**
      * Add new array to arraysCache.
+     * Calculation of its permutations starts only once they or progress are requested,
+     * so that arrays used only for sampling never get enumerated.
      *
      * @param   newArrayKey array of objects
      * @param   array       array of objects
@@ -152,13 +203,27 @@ public class ArrayPermutationProvider {
         long arrayFactorial = factorial(array.size());
         this.targetResultSizeCache.put(newArrayKey, arrayFactorial);
         this.progressCache.put(newArrayKey, -1L);
-        this.permutationsCache.put(newArrayKey, new ArrayList<>());
         arrayKeys.add(newArrayKey);
-        permutationCalculatingExecutor
-                .submit(() -> permutationsCache.put(newArrayKey, getPermutationsOfArray(newArrayKey)));
         return newArrayKey;
     }
 
+    /**
+     * Mark calculation of permutations of array identified by arrayKey as started
+     * and add empty array to permutationsCache, where result will be stored.
+     * Returns true only for the caller that started the calculation.
+     *
+     * @param   arrayKey    array identifier value
+     * @return              true if calculation was started by this call
+     */
+    private synchronized boolean startPermutationIfNotStarted(String arrayKey) {
+        if (!permutationDidNotStart(arrayKey)) {
+            return false;
+        }
+        permutationsCache.put(arrayKey, new ArrayList<>());
+        progressCache.put(arrayKey, 0L);
+        return true;
+    }
+
     /**
      * Get key of an array if it exists in map arraysCache. Otherwise, return null.
      *
@@ -5,6 +5,7 @@ import java.security.InvalidKeyException;
 import java.security.InvalidParameterException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
@@ -39,6 +40,9 @@ public class ArrayResource {
     public static final String CAN_NOT_PARSE_ARRAY_VALUE_BAD_REQUEST_CAUSE =
             "value of key 'array' in json JSON did not contain JsonArray object";
     private static final String ARRAY_SIZE_TOO_BIG_REQUEST_CAUSE = "size of the array is too big";
+    public static final String INVALID_SAMPLE_COUNT_BAD_REQUEST_CAUSE = "parameter 'count' must be between 1 and "
+            + ArrayPermutationProvider.MAXIMUM_ALLOWED_SAMPLE_COUNT;
+    public static final String INVALID_SAMPLE_SEED_BAD_REQUEST_CAUSE = "parameter 'seed' must be a long number";
 
     private static final JsonBuilderFactory JSON = Json.createBuilderFactory(Collections.emptyMap());
 
@@ -106,6 +110,56 @@ public class ArrayResource {
         }
     }
 
+    /**
+     * Return list of count uniformly random permutations of input array.
+     * Permutations are not cached, result is reproducible for the same seed.
+     * Parameters are parsed here, so that invalid values give bad request instead of not found.
+     *
+     * @param   id      string identifier of the array
+     * @param   count   number of permutations to return
+     * @param   seed    seed of random generator, random if not set
+     * @return  Object  list of random permutations of input array
+     */
+    @Path("/{id}/sample")
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Object getSample(@PathParam("id") String id,
+                            @DefaultValue("1") @QueryParam("count") String count,
+                            @QueryParam("seed") String seed) {
+        int sampleCount;
+        try {
+            sampleCount = Integer.parseInt(count);
+        } catch (NumberFormatException e) {
+            sampleCount = 0;
+        }
+        if (sampleCount < 1 || sampleCount > ArrayPermutationProvider.MAXIMUM_ALLOWED_SAMPLE_COUNT) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .header("status", Response.Status.BAD_REQUEST.getStatusCode())
+                    .header("cause", INVALID_SAMPLE_COUNT_BAD_REQUEST_CAUSE)
+                    .build();
+        }
+
+        long sampleSeed;
+
+        try {
+            sampleSeed = seed != null ? Long.parseLong(seed) : new Random().nextLong();
+        } catch (NumberFormatException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .header("status", Response.Status.BAD_REQUEST.getStatusCode())
+                    .header("cause", INVALID_SAMPLE_SEED_BAD_REQUEST_CAUSE)
+                    .build();
+        }
+
+        try {
+            List<List<Object>> array = arrayProvider.getRandomPermutationsOfArray(id, sampleCount, sampleSeed);
+            return createArrayResponse("array", array);
+        } catch (InvalidParameterException e) {
+            System.out.println(e.getMessage());
+            return Response.status(Response.Status.NOT_FOUND)
+                    .build();
+        }
+    }
+
     /**
      * Return response on post of json array.
      * JsonObject must contain field 'array' with JsonArray value.
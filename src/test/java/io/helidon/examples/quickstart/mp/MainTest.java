@@ -16,7 +16,9 @@ import org.junit.jupiter.api.Test;
 import io.helidon.microprofile.tests.junit5.HelidonTest;
 import org.junit.jupiter.api.TestMethodOrder;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -127,6 +129,105 @@ public class MainTest {
         Assertions.assertEquals(Response.status(Response.Status.OK).build().getStatus(), response.getStatus());
     }
 
+    @Test
+    @Order(11)
+    void testSampleIsReproducibleForTheSameSeed() {
+        String id = String.valueOf(testArrayPostAndReturnId("[1, 2, 3, 4, 5]"));
+        String sample = testSampleAndReturnArray(id, 5, 42);
+
+        Assertions.assertEquals(sample, testSampleAndReturnArray(id, 5, 42),
+                "Samples drawn with the same seed are not the same.");
+        Assertions.assertNotEquals(sample, testSampleAndReturnArray(id, 5, 43),
+                "Samples drawn with different seeds are the same.");
+
+        String[] permutations = sample.substring(2, sample.length() - 2).split("\\], \\[");
+        Assertions.assertEquals(5, permutations.length,
+                "Sample does not contain requested number of permutations.");
+        for (String permutation : permutations) {
+            String[] elements = permutation.split(", ");
+            Arrays.sort(elements);
+            Assertions.assertArrayEquals(new String[] {"1", "2", "3", "4", "5"}, elements,
+                    "Sampled list '" + permutation + "' is not a permutation of input array.");
+        }
+    }
+
+    @Test
+    @Order(12)
+    void testBadRequestWhenSampleCountIsInvalid() {
+        int id = testArrayPostAndReturnId("[1, 2, 3]");
+        response = target
+                .path("array/" + id + "/sample")
+                .queryParam("count", "0")
+                .request()
+                .get();
+        Assertions.assertEquals(Response.status(Response.Status.BAD_REQUEST).build().getStatus(),
+                response.getStatus());
+        Assertions.assertEquals(ArrayResource.INVALID_SAMPLE_COUNT_BAD_REQUEST_CAUSE,
+                response.getHeaderString("cause"));
+    }
+
+    @Test
+    @Order(13)
+    void testNotFoundWhenSamplingNonExistingId() {
+        response = target
+                .path("array/0/sample")
+                .request()
+                .get();
+        Assertions.assertEquals(Response.status(Response.Status.NOT_FOUND).build().getStatus(),
+                response.getStatus());
+    }
+
+    @Test
+    @Order(14)
+    void testSampleOfLargeArrayDoesNotEnumerateAllPermutations() {
+        String id = String.valueOf(testArrayPostAndReturnId(
+                "[1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20]"));
+        String sample = testSampleAndReturnArray(id, 3, 42);
+        Assertions.assertEquals(3, sample.substring(2, sample.length() - 2).split("\\], \\[").length,
+                "Sample does not contain requested number of permutations.");
+
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            String smallArrayId = String.valueOf(testArrayPostAndReturnId("[21, 22]"));
+            testSynchronousResponseOnArray(smallArrayId, "[[21, 22], [22, 21]]");
+            testAsynchronousGetProgress(smallArrayId, "100%");
+        }, "Server is not responsive after sampling of large array.");
+    }
+
+    @Test
+    @Order(15)
+    void testBadRequestWhenSampleParametersAreNotNumbers() {
+        int id = testArrayPostAndReturnId("[1, 2, 3]");
+        response = target
+                .path("array/" + id + "/sample")
+                .queryParam("count", "abc")
+                .request()
+                .get();
+        Assertions.assertEquals(Response.status(Response.Status.BAD_REQUEST).build().getStatus(),
+                response.getStatus());
+        Assertions.assertEquals(ArrayResource.INVALID_SAMPLE_COUNT_BAD_REQUEST_CAUSE,
+                response.getHeaderString("cause"));
+
+        response = target
+                .path("array/" + id + "/sample")
+                .queryParam("seed", "abc")
+                .request()
+                .get();
+        Assertions.assertEquals(Response.status(Response.Status.BAD_REQUEST).build().getStatus(),
+                response.getStatus());
+        Assertions.assertEquals(ArrayResource.INVALID_SAMPLE_SEED_BAD_REQUEST_CAUSE,
+                response.getHeaderString("cause"));
+    }
+
+    private String testSampleAndReturnArray(String id, int count, long seed) {
+        JsonObject jsonObject = target
+                .path("array/" + id + "/sample")
+                .queryParam("count", count)
+                .queryParam("seed", seed)
+                .request()
+                .get(JsonObject.class);
+        return jsonObject.getString("array");
+    }
+
     private void testSynchronousResponseOnArray(String id, String expectedResponseContent) {
         JsonObject jsonObject = target
                 .path("array/" + id)